@@ -0,0 +1,22 @@
+package aQute.bnd.annotation.metatype;
+
+/**
+ * The members of the bnd metatype annotations the tool reads from the
+ * configuration classes, so the training modules don't need bnd to be built.
+ */
+public interface Meta {
+
+	@interface AD {
+
+		String deflt() default "";
+
+		String id() default "";
+
+		boolean required() default true;
+	}
+
+	@interface OCD {
+
+		String id() default "";
+	}
+}
@@ -0,0 +1,20 @@
+package com.liferay.journal.training.configuration;
+
+import aQute.bnd.annotation.metatype.Meta;
+
+/**
+ * Configuration of the web training module, which also has its metatype XML
+ * like the modules built with bnd.
+ */
+@Meta.OCD(id = "com.liferay.journal.training.configuration.JournalTrainingConfiguration")
+public interface JournalTrainingConfiguration {
+
+	@Meta.AD(deflt = "15", required = false)
+	public long checkInterval();
+
+	@Meta.AD(deflt = "icon|descriptive|list", required = false)
+	public String[] displayViews();
+
+	@Meta.AD(deflt = "true", required = false)
+	public boolean publishToLiveByDefault();
+}
@@ -0,0 +1,25 @@
+package com.liferay.journal.training.service.configuration;
+
+import aQute.bnd.annotation.metatype.Meta;
+
+import java.util.List;
+
+/**
+ * Configuration of the service training module. That module has no metatype
+ * XML, so the tool reads this class.
+ */
+@Meta.OCD(id = "com.liferay.journal.training.service.configuration.JournalServiceTrainingConfiguration")
+public interface JournalServiceTrainingConfiguration {
+
+	@Meta.AD(deflt = "true", id = "article.comments.enabled", required = false)
+	public boolean articleCommentsEnabled();
+
+	@Meta.AD(deflt = ".gif|.jpeg|.jpg|.png", required = false)
+	public List<String> imageExtensions();
+
+	@Meta.AD(deflt = "51200", required = false)
+	public int imageSmallMaxSize();
+
+	@Meta.AD(deflt = "false", required = false)
+	public boolean syncContentSearchOnStartup();
+}
@@ -0,0 +1,193 @@
+package com.liferay.upgrade.properties.locator;
+
+import com.liferay.upgrade.properties.locator.PropertiesLocator.Pair;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Index of the words of candidate properties by their character trigrams.
+ * It finds candidates whose words are similar, but not equal, to the words of
+ * a property, like abbreviated or plural words or typos. Only the words
+ * sharing trigrams with the property are compared, instead of all of them.
+ * Only the distinct words are kept in heap, candidates are read from their
+ * own indexes, which can be on disk, like in the exact match.
+ */
+public class ApproximateMatchIndex {
+
+	/*
+		Two words are similar when their trigram Dice coefficient is at least similarity (between 0 and 1)
+	 */
+	public ApproximateMatchIndex(double similarity) {
+		_similarity = similarity;
+	}
+
+	public void add(Iterable<Pair<String, String[]>> candidates) {
+		_candidates.add(candidates);
+
+		for (Pair<String, String[]> candidate : candidates) {
+			for (String key : candidate.second) {
+				for (String word : PropertiesLocator.getPropertyWords(key)) {
+					getTokenId(word);
+				}
+			}
+		}
+	}
+
+	/*
+		Same rules than PropertiesLocator.getMostLikelyMatches but counting the words of the candidates which are similar
+		to a word of the property as occurrences
+	 */
+	public List<Pair<String, String>> getMostLikelyMatches(String property, String[] portletNames) {
+		String[] words = PropertiesLocator.getPropertyWords(PropertiesLocator.removeCommonPrefix(property));
+
+		Set<String> similarTokens = new HashSet<>();
+
+		for (String word : words) {
+			for (int tokenId : getSimilarTokens(word)) {
+				similarTokens.add(_tokens.get(tokenId));
+			}
+		}
+
+		return PropertiesLocator.getMostLikelyMatches(
+			property, this::candidatesIterator, portletNames,
+			matchProperty -> {
+				int occurrences = 0;
+
+				for (String word : PropertiesLocator.getPropertyWords(matchProperty)) {
+					if (similarTokens.contains(word)) {
+						occurrences++;
+					}
+				}
+
+				return occurrences;
+			});
+	}
+
+	/*
+		Candidates are read one by one while they are matched, never copied. Streams can't be used here, since flatMap
+		reads a whole inner stream before returning its first element
+	 */
+	protected Iterator<Pair<String, String[]>> candidatesIterator() {
+		Iterator<Iterable<Pair<String, String[]>>> iterablesIterator = _candidates.iterator();
+
+		return new Iterator<Pair<String, String[]>>() {
+
+			@Override
+			public boolean hasNext() {
+				while (!_iterator.hasNext() && iterablesIterator.hasNext()) {
+					_iterator = iterablesIterator.next().iterator();
+				}
+
+				return _iterator.hasNext();
+			}
+
+			@Override
+			public Pair<String, String[]> next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+
+				return _iterator.next();
+			}
+
+			private Iterator<Pair<String, String[]>> _iterator = Collections.emptyIterator();
+
+		};
+	}
+
+	/*
+		The most similar tokens to the word, at most _MAX_SIMILAR_TOKENS so the cost of a query is bounded
+	 */
+	protected List<Integer> getSimilarTokens(String word) {
+		Set<String> wordTrigrams = getTrigrams(word);
+
+		Map<Integer, Integer> sharedTrigrams = new HashMap<>();
+
+		for (String trigram : wordTrigrams) {
+			List<Integer> tokenIds = _trigramTokens.get(trigram);
+
+			if (tokenIds == null) {
+				continue;
+			}
+
+			for (int tokenId : tokenIds) {
+				sharedTrigrams.merge(tokenId, 1, Integer::sum);
+			}
+		}
+
+		List<Pair<Integer, Double>> similarTokens = new ArrayList<>();
+
+		for (Map.Entry<Integer, Integer> entry : sharedTrigrams.entrySet()) {
+			int tokenTrigrams = _tokenTrigrams.get(entry.getKey());
+
+			double similarity = (2.0 * entry.getValue()) / (wordTrigrams.size() + tokenTrigrams);
+
+			if (similarity >= _similarity) {
+				similarTokens.add(new Pair<>(entry.getKey(), similarity));
+			}
+		}
+
+		similarTokens.sort((token1, token2) -> Double.compare(token2.second, token1.second));
+
+		List<Integer> tokenIds = new ArrayList<>();
+
+		for (int i = 0; (i < similarTokens.size()) && (i < _MAX_SIMILAR_TOKENS); i++) {
+			tokenIds.add(similarTokens.get(i).first);
+		}
+
+		return tokenIds;
+	}
+
+	protected int getTokenId(String token) {
+		Integer tokenId = _tokenIds.get(token);
+
+		if (tokenId != null) {
+			return tokenId;
+		}
+
+		tokenId = _tokens.size();
+
+		_tokenIds.put(token, tokenId);
+		_tokens.add(token);
+
+		Set<String> trigrams = getTrigrams(token);
+
+		_tokenTrigrams.add(trigrams.size());
+
+		for (String trigram : trigrams) {
+			_trigramTokens.computeIfAbsent(trigram, key -> new ArrayList<>()).add(tokenId);
+		}
+
+		return tokenId;
+	}
+
+	protected static Set<String> getTrigrams(String word) {
+		// Words are padded so short words still have trigrams and the first and last letters weight more
+		String paddedWord = "$" + word.toLowerCase() + "$";
+
+		Set<String> trigrams = new HashSet<>();
+
+		for (int i = 0; i < (paddedWord.length() - 2); i++) {
+			trigrams.add(paddedWord.substring(i, i + 3));
+		}
+
+		return trigrams;
+	}
+
+	private static final int _MAX_SIMILAR_TOKENS = 20;
+
+	private final List<Iterable<Pair<String, String[]>>> _candidates = new ArrayList<>();
+	private final double _similarity;
+	private final Map<String, Integer> _tokenIds = new HashMap<>();
+	private final List<Integer> _tokenTrigrams = new ArrayList<>();
+	private final List<String> _tokens = new ArrayList<>();
+	private final Map<String, List<Integer>> _trigramTokens = new HashMap<>();
+}
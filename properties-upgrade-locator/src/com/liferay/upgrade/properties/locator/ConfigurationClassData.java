@@ -1,10 +1,16 @@
 package com.liferay.upgrade.properties.locator;
 
-import com.liferay.portal.kernel.util.ArrayUtil;
+import com.liferay.upgrade.properties.locator.util.ArrayUtil;
 import jdk.internal.org.objectweb.asm.*;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Created by achaparro on 18/02/17.
@@ -16,6 +22,18 @@ public class ConfigurationClassData {
         cr.accept(new ConfigClassVisitor(), ClassReader.SKIP_CODE);
     }
 
+    /*
+        Used for configurations read from metatype XML files, where fields inherited from other classes are already included
+     */
+    public ConfigurationClassData(String ocdId, List<ConfigurationField> configFields) {
+        setOcdId(ocdId);
+        setSuperClass("java/lang/Object");
+
+        for (ConfigurationField configField : configFields) {
+            addConfigField(configField);
+        }
+    }
+
     public String getSuperClass() {
         return _superClass;
     }
@@ -24,35 +42,180 @@ public class ConfigurationClassData {
         return _configFields;
     }
 
-    private void addConfigField(String configField) {
-        _configFields = ArrayUtil.append(_configFields, configField);
+    public ConfigurationField getConfigField(String configField) {
+        return _configFieldsMap.get(configField);
+    }
+
+    /*
+        Id from @Meta.OCD, it's the PID of the configuration. Null if the class is not annotated
+     */
+    public String getOcdId() {
+        return _ocdId;
+    }
+
+    /*
+        Types are named as in metatype XML files, like bnd does when it generates them, so fields read from classes and
+        from metatype are shown the same way
+     */
+    protected static String getMetatypeType(Type type, String signature) {
+        switch (type.getSort()) {
+            case Type.ARRAY:
+                return getMetatypeType(type.getElementType(), null) + "[]";
+            case Type.BOOLEAN:
+                return "Boolean";
+            case Type.BYTE:
+                return "Byte";
+            case Type.CHAR:
+                return "Character";
+            case Type.DOUBLE:
+                return "Double";
+            case Type.FLOAT:
+                return "Float";
+            case Type.INT:
+                return "Integer";
+            case Type.LONG:
+                return "Long";
+            case Type.SHORT:
+                return "Short";
+        }
+
+        String className = type.getClassName();
+
+        if (_COLLECTION_CLASS_NAMES.contains(className)) {
+            // The type of the elements is only in the generic signature, like ()Ljava/util/List<Ljava/lang/Long;>;
+            Matcher matcher = (signature == null) ? null : _TYPE_ARGUMENT_PATTERN.matcher(signature);
+
+            if ((matcher != null) && matcher.find()) {
+                return getMetatypeType(Type.getObjectType(matcher.group(1)), null) + "[]";
+            }
+
+            return "String[]";
+        }
+
+        if (_BOXED_CLASS_NAMES.contains(className)) {
+            return className.substring("java.lang.".length());
+        }
+
+        // Strings, enums and classes are stored as strings
+        return "String";
+    }
+
+    private void addConfigField(ConfigurationField configField) {
+        _configFields = ArrayUtil.append(_configFields, configField.getId());
+
+        _configFieldsMap.put(configField.getId(), configField);
+    }
+
+    private void setOcdId(String ocdId) {
+        _ocdId = ocdId;
     }
 
     private void setSuperClass(String superClass) {
         _superClass = superClass;
     }
 
+    private static final List<String> _BOXED_CLASS_NAMES = Arrays.asList(
+        "java.lang.Boolean", "java.lang.Byte", "java.lang.Character", "java.lang.Double", "java.lang.Float",
+        "java.lang.Integer", "java.lang.Long", "java.lang.Short");
+
+    private static final List<String> _COLLECTION_CLASS_NAMES = Arrays.asList(
+        "java.lang.Iterable", "java.util.Collection", "java.util.List", "java.util.Set");
+
+    private static final Pattern _TYPE_ARGUMENT_PATTERN = Pattern.compile("<L([^;<]+);>");
+
     private String[] _configFields = new String[0];
+    private Map<String, ConfigurationField> _configFieldsMap = new LinkedHashMap<>();
+    private String _ocdId;
     private String _superClass;
 
+    private class ADAnnotationScanner extends AnnotationVisitor {
+
+        public ADAnnotationScanner(String fieldName, String type) {
+            super(Opcodes.ASM5);
+
+            _id = fieldName;
+            _type = type;
+        }
+
+        @Override
+        public void visit(String name, Object value) {
+            if (name.equals("deflt")) {
+                _defaultValue = String.valueOf(value);
+            }
+            else if (name.equals("id")) {
+                // When it's set, it's the key of the property in the configuration instead of the method name
+                _id = String.valueOf(value);
+            }
+            else if (name.equals("name")) {
+                _name = String.valueOf(value);
+            }
+            else if (name.equals("required")) {
+                _required = (Boolean) value;
+            }
+        }
+
+        @Override
+        public void visitEnum(String name, String desc, String value) {
+            if (name.equals("type")) {
+                // Meta.Type values are named like metatype types, it only replaces the type of the elements
+                _type = _type.endsWith("[]") ? value + "[]" : value;
+            }
+        }
+
+        @Override
+        public void visitEnd() {
+            ConfigurationField configField = new ConfigurationField(_id, _type);
+
+            configField.setDefaultValue(_defaultValue);
+            configField.setName(_name);
+            configField.setRequired(_required);
+
+            addConfigField(configField);
+        }
+
+        private String _defaultValue;
+        private String _id;
+        private String _name;
+        private boolean _required = true;
+        private String _type;
+    }
+
+    private class OCDAnnotationScanner extends AnnotationVisitor {
+
+        public OCDAnnotationScanner() {
+            super(Opcodes.ASM5);
+        }
+
+        @Override
+        public void visit(String name, Object value) {
+            if (name.equals("id")) {
+                setOcdId(String.valueOf(value));
+            }
+        }
+    }
+
     private class MethodAnnotationScanner extends MethodVisitor {
 
-        public MethodAnnotationScanner(String fieldName) {
+        public MethodAnnotationScanner(String fieldName, String desc, String signature) {
             super(Opcodes.ASM5);
 
             _fieldName = fieldName;
+            _desc = desc;
+            _signature = signature;
         }
 
         @Override
         public AnnotationVisitor visitAnnotation(String desc, boolean visible) {
             if (desc.equals("LaQute/bnd/annotation/metatype/Meta$AD;")) {
-                addConfigField(_fieldName);
+                return new ADAnnotationScanner(_fieldName, getMetatypeType(Type.getReturnType(_desc), _signature));
             }
 
             return null;
         }
 
+        private String _desc;
         private String _fieldName;
+        private String _signature;
     }
 
     private class ConfigClassVisitor extends ClassVisitor {
@@ -63,7 +226,16 @@ public class ConfigurationClassData {
 
         @Override
         public MethodVisitor visitMethod(int access, String name, String desc, String signature, String[] exceptions){
-            return new MethodAnnotationScanner(name);
+            return new MethodAnnotationScanner(name, desc, signature);
+        }
+
+        @Override
+        public AnnotationVisitor visitAnnotation(String desc, boolean visible) {
+            if (desc.equals("LaQute/bnd/annotation/metatype/Meta$OCD;")) {
+                return new OCDAnnotationScanner();
+            }
+
+            return null;
         }
 
         @Override
@@ -0,0 +1,50 @@
+package com.liferay.upgrade.properties.locator;
+
+/**
+ * A field of an OSGI configuration, as declared by @Meta.AD
+ */
+public class ConfigurationField {
+
+	public ConfigurationField(String id, String type) {
+		_id = id;
+		_type = type;
+	}
+
+	public String getDefaultValue() {
+		return _defaultValue;
+	}
+
+	public String getId() {
+		return _id;
+	}
+
+	public String getName() {
+		return _name;
+	}
+
+	public String getType() {
+		return _type;
+	}
+
+	public boolean isRequired() {
+		return _required;
+	}
+
+	public void setDefaultValue(String defaultValue) {
+		_defaultValue = defaultValue;
+	}
+
+	public void setName(String name) {
+		_name = name;
+	}
+
+	public void setRequired(boolean required) {
+		_required = required;
+	}
+
+	private String _defaultValue;
+	private final String _id;
+	private String _name;
+	private boolean _required = true;
+	private final String _type;
+}
@@ -0,0 +1,122 @@
+package com.liferay.upgrade.properties.locator;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import java.io.FilterInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configurations declared in a metatype XML file generated by bnd
+ * (OSGI-INF/metatype/*.xml). bnd already includes inherited fields in every
+ * OCD, and the PID is the one from its Designate element.
+ */
+public class ConfigurationMetatypeData {
+
+	public ConfigurationMetatypeData(InputStream is) throws XMLStreamException {
+		Map<String, List<ConfigurationField>> ocds = new LinkedHashMap<>();
+		Map<String, String> pids = new HashMap<>();
+
+		// The parser closes the stream when the document ends, but the rest of the jar still has to be read
+		XMLStreamReader reader = _xmlInputFactory.createXMLStreamReader(
+			new FilterInputStream(is) {
+
+				@Override
+				public void close() {
+				}
+
+			});
+
+		try {
+			List<ConfigurationField> configFields = null;
+			String pid = null;
+
+			while (reader.hasNext()) {
+				if (reader.next() != XMLStreamConstants.START_ELEMENT) {
+					continue;
+				}
+
+				String localName = reader.getLocalName();
+
+				if (localName.equals("OCD")) {
+					configFields = new ArrayList<>();
+
+					ocds.put(reader.getAttributeValue(null, "id"), configFields);
+				}
+				else if (localName.equals("AD") && (configFields != null)) {
+					configFields.add(getConfigField(reader));
+				}
+				else if (localName.equals("Designate")) {
+					pid = reader.getAttributeValue(null, "pid");
+
+					if (pid == null) {
+						pid = reader.getAttributeValue(null, "factoryPid");
+					}
+				}
+				else if (localName.equals("Object") && (pid != null)) {
+					pids.put(reader.getAttributeValue(null, "ocdref"), pid);
+				}
+			}
+		}
+		finally {
+			reader.close();
+		}
+
+		for (Map.Entry<String, List<ConfigurationField>> ocd : ocds.entrySet()) {
+			String pid = pids.get(ocd.getKey());
+
+			if (pid == null) {
+				pid = ocd.getKey();
+			}
+
+			_configurations.put(ocd.getKey(), new ConfigurationClassData(pid, ocd.getValue()));
+		}
+	}
+
+	/*
+		Configurations by OCD id
+	 */
+	public Map<String, ConfigurationClassData> getConfigurations() {
+		return _configurations;
+	}
+
+	protected ConfigurationField getConfigField(XMLStreamReader reader) {
+		String type = reader.getAttributeValue(null, "type");
+
+		String cardinality = reader.getAttributeValue(null, "cardinality");
+
+		if ((cardinality != null) && !cardinality.equals("0")) {
+			type += "[]";
+		}
+
+		ConfigurationField configField = new ConfigurationField(reader.getAttributeValue(null, "id"), type);
+
+		configField.setDefaultValue(reader.getAttributeValue(null, "default"));
+		configField.setName(reader.getAttributeValue(null, "name"));
+
+		String required = reader.getAttributeValue(null, "required");
+
+		if (required != null) {
+			configField.setRequired(Boolean.parseBoolean(required));
+		}
+
+		return configField;
+	}
+
+	private static final XMLInputFactory _xmlInputFactory;
+	static
+	{
+		_xmlInputFactory = XMLInputFactory.newInstance();
+		_xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+		_xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+	}
+
+	private Map<String, ConfigurationClassData> _configurations = new LinkedHashMap<>();
+}
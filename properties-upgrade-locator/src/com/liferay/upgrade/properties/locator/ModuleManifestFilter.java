@@ -0,0 +1,102 @@
+package com.liferay.upgrade.properties.locator;
+
+import com.liferay.upgrade.properties.locator.util.StringPool;
+
+import java.nio.file.FileSystems;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.jar.Attributes;
+import java.util.jar.Manifest;
+import java.util.regex.Pattern;
+
+/**
+ * Decides which modules have to be read. Configurations are looked for in
+ * modules whose manifest shows they can have them, both in the osgi folder
+ * and inside lpkg files. Modules inside lpkg files can only be read
+ * sequentially, so portlet properties are only looked for in Liferay modules
+ * there, since a manifest doesn't list resources. Modules matching one of the
+ * include patterns are always read completely.
+ */
+public class ModuleManifestFilter {
+
+	public ModuleManifestFilter(List<String> includePatterns) {
+		_includePatterns = includePatterns;
+
+		for (String includePattern : includePatterns) {
+			_includeMatchers.add(FileSystems.getDefault().getPathMatcher("glob:" + includePattern));
+		}
+	}
+
+	public List<String> getIncludePatterns() {
+		return _includePatterns;
+	}
+
+	public boolean isIncluded(String moduleName) {
+		for (PathMatcher includeMatcher : _includeMatchers) {
+			if (includeMatcher.matches(Paths.get(moduleName).getFileName())) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/*
+		Configurations of modules whose manifest doesn't show any of them are not read
+	 */
+	public boolean mayContainConfiguration(String moduleName, Manifest manifest) {
+		if (isIncluded(moduleName)) {
+			return true;
+		}
+
+		if ((manifest == null) || (manifest.getMainAttributes().getValue(_BUNDLE_SYMBOLIC_NAME) == null)) {
+			// Not an OSGi bundle, keep reading Liferay jars as before
+			return PropertiesLocator.isLiferayJar(moduleName);
+		}
+
+		Attributes attributes = manifest.getMainAttributes();
+
+		if (_CONFIGURATION_PACKAGE_PATTERN.matcher(getHeader(attributes, "Export-Package")).find() ||
+			_CONFIGURATION_PACKAGE_PATTERN.matcher(getHeader(attributes, "Private-Package")).find()) {
+
+			return true;
+		}
+
+		if (getHeader(attributes, "Provide-Capability").contains("osgi.metatype") ||
+			getHeader(attributes, "Require-Capability").contains("osgi.metatype") ||
+			getHeader(attributes, "Include-Resource").contains("OSGI-INF/metatype")) {
+
+			return true;
+		}
+
+		return false;
+	}
+
+	/*
+		Liferay modules and the included ones. They are always looked for portlet properties, since no header proves a
+		module doesn't have a portlet.properties (service modules have them too)
+	 */
+	public boolean isAnalyzed(String moduleName) {
+		return isIncluded(moduleName) || PropertiesLocator.isLiferayJar(moduleName);
+	}
+
+	protected String getHeader(Attributes attributes, String name) {
+		String value = attributes.getValue(name);
+
+		if (value == null) {
+			return StringPool.BLANK;
+		}
+
+		return value;
+	}
+
+	private static final String _BUNDLE_SYMBOLIC_NAME = "Bundle-SymbolicName";
+
+	// Configuration interfaces live in a package called configuration
+	private static final Pattern _CONFIGURATION_PACKAGE_PATTERN = Pattern.compile("\\.configuration(\\.[\\w.]*)?(;|,|$)");
+
+	private final List<PathMatcher> _includeMatchers = new ArrayList<>();
+	private final List<String> _includePatterns;
+}
@@ -0,0 +1,453 @@
+package com.liferay.upgrade.properties.locator;
+
+import com.liferay.upgrade.properties.locator.PropertiesLocator.Pair;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+/**
+ * Candidate properties found in the bundle. They are kept in heap until the
+ * number of keys passes maxHeapSize, then everything is spilled to a file
+ * which is read back through a MappedByteBuffer. Besides the keys, every
+ * entry stores what the report shows about them (the file or PID they come
+ * from and details like the type of every key), so nothing else needs to be
+ * kept in heap to describe a match. A finished index can be stored and loaded
+ * again by another execution against the same bundle. Entries in the file
+ * start with their length, so the ones whose path is filtered out are skipped
+ * without reading their keys.
+ */
+public class PropertiesIndex implements Closeable, Iterable<Pair<String, String[]>> {
+
+	public PropertiesIndex(int maxHeapSize) {
+		_maxHeapSize = maxHeapSize;
+	}
+
+	public void add(String path, String[] keys) throws IOException {
+		add(path, path, keys, null);
+	}
+
+	/*
+		Source is what the report shows as the origin of the keys and details, which can be null, what it shows after
+		every key
+	 */
+	public synchronized void add(String path, String source, String[] keys, String[] details) throws IOException {
+		if (_finished) {
+			throw new IllegalStateException("Properties can't be added once the index is finished");
+		}
+
+		Entry entry = new Entry(path, source, keys, details);
+
+		if (_output != null) {
+			write(_output, entry);
+
+			return;
+		}
+
+		_entries.add(entry);
+
+		_heapSize += keys.length;
+
+		if ((_maxHeapSize > 0) && (_heapSize > _maxHeapSize)) {
+			spill();
+		}
+	}
+
+	/*
+		Must be called once all the properties have been added and before iterating
+	 */
+	public synchronized void finish() throws IOException {
+		if (_finished) {
+			return;
+		}
+
+		_finished = true;
+
+		if (_output == null) {
+			return;
+		}
+
+		_output.close();
+
+		_output = null;
+
+		_buffer = map(_file);
+	}
+
+	/*
+		Replaces the content of an empty index with the one stored in the file
+	 */
+	public synchronized void load(Path file) throws IOException {
+		if (_finished || !_entries.isEmpty()) {
+			throw new IllegalStateException("Only an empty index can be loaded");
+		}
+
+		_buffer = map(file);
+
+		_finished = true;
+	}
+
+	public synchronized void store(Path file) throws IOException {
+		if (!_finished) {
+			throw new IllegalStateException("The index must be finished before storing it");
+		}
+
+		Path tempFile = Files.createTempFile(file.toAbsolutePath().getParent(), "properties-index", ".tmp");
+
+		if (_file != null) {
+			// A spilled index already has the same format
+			Files.copy(_file, tempFile, StandardCopyOption.REPLACE_EXISTING);
+		}
+		else {
+			try (DataOutputStream output = createOutput(tempFile)) {
+				for (Entry entry : _entries) {
+					write(output, entry);
+				}
+			}
+		}
+
+		// Other executions must never find a partially written index
+		Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	/*
+		How the report describes every match which belongs to this index, in a single pass over it
+	 */
+	public Map<Pair<String, String>, String> getDescriptions(Collection<Pair<String, String>> matches) {
+		Map<Pair<String, String>, String> descriptions = new HashMap<>();
+
+		Iterator<Entry> iterator = entryIterator(true, path -> true);
+
+		while (iterator.hasNext() && (descriptions.size() < matches.size())) {
+			Entry entry = iterator.next();
+
+			for (int i = 0; i < entry.properties.second.length; i++) {
+				Pair<String, String> match = new Pair<>(entry.properties.first, entry.properties.second[i]);
+
+				if (!matches.contains(match)) {
+					continue;
+				}
+
+				String description = match.second + " from " + entry.source;
+
+				if ((entry.details != null) && (entry.details[i] != null)) {
+					description += " " + entry.details[i];
+				}
+
+				descriptions.put(match, description);
+			}
+		}
+
+		return descriptions;
+	}
+
+	/*
+		Every entry with the file or PID it comes from and its details
+	 */
+	public Iterable<Entry> entries() {
+		return () -> entryIterator(true, path -> true);
+	}
+
+	/*
+		Only the entries whose path is accepted by pathFilter
+	 */
+	public Iterable<Pair<String, String[]>> filter(Predicate<String> pathFilter) {
+		return () -> propertiesIterator(entryIterator(false, pathFilter));
+	}
+
+	@Override
+	public Iterator<Pair<String, String[]>> iterator() {
+		return propertiesIterator(entryIterator(false, path -> true));
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		_entries.clear();
+
+		if (_output != null) {
+			_output.close();
+
+			_output = null;
+		}
+
+		_buffer = null;
+
+		if (_file != null) {
+			try {
+				Files.deleteIfExists(_file);
+			}
+			catch (IOException ioe) {
+				// The file can still be mapped on some platforms
+				_file.toFile().deleteOnExit();
+			}
+		}
+	}
+
+	private Iterator<Pair<String, String[]>> propertiesIterator(Iterator<Entry> iterator) {
+		return new Iterator<Pair<String, String[]>>() {
+
+			@Override
+			public boolean hasNext() {
+				return iterator.hasNext();
+			}
+
+			@Override
+			public Pair<String, String[]> next() {
+				return iterator.next().properties;
+			}
+
+		};
+	}
+
+	private Iterator<Entry> entryIterator(boolean withDescriptions, Predicate<String> pathFilter) {
+		if (!_finished) {
+			throw new IllegalStateException("The index must be finished before iterating it");
+		}
+
+		if (_buffer == null) {
+			return Collections.unmodifiableList(_entries).stream().filter(entry -> pathFilter.test(entry.properties.first)).iterator();
+		}
+
+		// Every iterator works over its own view so the index can be read from several threads
+		return new MappedIterator(_buffer.duplicate(), withDescriptions, pathFilter);
+	}
+
+	private DataOutputStream createOutput(Path file) throws IOException {
+		DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+
+		output.writeInt(_INDEX_FORMAT_VERSION);
+
+		return output;
+	}
+
+	/*
+		The returned buffer starts after the header
+	 */
+	private ByteBuffer map(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			long size = channel.size();
+
+			if (size > Integer.MAX_VALUE) {
+				throw new IOException("Index file " + file + " is too big to be mapped");
+			}
+
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+			if ((size < 4) || (buffer.getInt() != _INDEX_FORMAT_VERSION)) {
+				throw new IOException("Index file " + file + " has not a valid format");
+			}
+
+			// Through ByteBuffer so the jar built with JDK 9 or later still runs on JDK 8
+			return ((ByteBuffer)buffer).slice();
+		}
+	}
+
+	private void spill() throws IOException {
+		_file = Files.createTempFile("properties-index", ".bin");
+
+		_output = createOutput(_file);
+
+		for (Entry entry : _entries) {
+			write(_output, entry);
+		}
+
+		_entries = new ArrayList<>();
+	}
+
+	private void write(DataOutputStream output, Entry entry) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+		DataOutputStream entryOutput = new DataOutputStream(bytes);
+
+		writeString(entryOutput, entry.properties.first);
+		writeString(entryOutput, entry.source);
+
+		String[] keys = entry.properties.second;
+
+		entryOutput.writeInt(keys.length);
+
+		for (String key : keys) {
+			writeString(entryOutput, key);
+		}
+
+		entryOutput.writeBoolean(entry.details != null);
+
+		if (entry.details != null) {
+			for (String detail : entry.details) {
+				entryOutput.writeBoolean(detail != null);
+
+				if (detail != null) {
+					writeString(entryOutput, detail);
+				}
+			}
+		}
+
+		output.writeInt(bytes.size());
+
+		bytes.writeTo(output);
+	}
+
+	private void writeString(DataOutputStream output, String s) throws IOException {
+		byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+
+		output.writeInt(bytes.length);
+		output.write(bytes);
+	}
+
+	private static final int _INDEX_FORMAT_VERSION = 2;
+
+	private ByteBuffer _buffer;
+	private List<Entry> _entries = new ArrayList<>();
+	private Path _file;
+	private boolean _finished;
+	private int _heapSize;
+	private final int _maxHeapSize;
+	private DataOutputStream _output;
+
+	public static class Entry {
+
+		public Entry(String path, String source, String[] keys, String[] details) {
+			properties = new Pair<>(path, keys);
+
+			this.source = source;
+			this.details = details;
+		}
+
+		public String[] getDetails() {
+			return details;
+		}
+
+		public String[] getKeys() {
+			return properties.second;
+		}
+
+		public String getPath() {
+			return properties.first;
+		}
+
+		public String getSource() {
+			return source;
+		}
+
+		final String[] details;
+		final Pair<String, String[]> properties;
+		final String source;
+	}
+
+	private static class MappedIterator implements Iterator<Entry> {
+
+		/*
+			Matching only needs the keys, so source and details are skipped unless withDescriptions is set
+		 */
+		public MappedIterator(ByteBuffer buffer, boolean withDescriptions, Predicate<String> pathFilter) {
+			_buffer = buffer;
+			_withDescriptions = withDescriptions;
+			_pathFilter = pathFilter;
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (_path != null) {
+				return true;
+			}
+
+			while (_buffer.hasRemaining()) {
+				int length = _buffer.getInt();
+
+				int end = _buffer.position() + length;
+
+				String path = readString();
+
+				if (_pathFilter.test(path)) {
+					_path = path;
+
+					return true;
+				}
+
+				// Through Buffer so the jar built with JDK 9 or later still runs on JDK 8
+				((Buffer)_buffer).position(end);
+			}
+
+			return false;
+		}
+
+		@Override
+		public Entry next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+
+			String path = _path;
+
+			_path = null;
+
+			String source = readDescription();
+
+			String[] keys = new String[_buffer.getInt()];
+
+			for (int i = 0; i < keys.length; i++) {
+				keys[i] = readString();
+			}
+
+			String[] details = null;
+
+			if (_buffer.get() != 0) {
+				details = new String[keys.length];
+
+				for (int i = 0; i < keys.length; i++) {
+					if (_buffer.get() != 0) {
+						details[i] = readDescription();
+					}
+				}
+			}
+
+			return new Entry(path, source, keys, details);
+		}
+
+		private String readDescription() {
+			if (_withDescriptions) {
+				return readString();
+			}
+
+			int length = _buffer.getInt();
+
+			// Through Buffer so the jar built with JDK 9 or later still runs on JDK 8
+			((Buffer)_buffer).position(_buffer.position() + length);
+
+			return null;
+		}
+
+		private String readString() {
+			byte[] bytes = new byte[_buffer.getInt()];
+
+			_buffer.get(bytes);
+
+			return new String(bytes, StandardCharsets.UTF_8);
+		}
+
+		private final ByteBuffer _buffer;
+		private String _path;
+		private final Predicate<String> _pathFilter;
+		private final boolean _withDescriptions;
+	}
+}
@@ -1,19 +1,27 @@
 package com.liferay.upgrade.properties.locator;
 
-import com.liferay.portal.kernel.util.*;
+import com.liferay.upgrade.properties.locator.util.*;
 
 import java.io.*;
 import java.io.File;
 import java.net.URL;
+import java.security.MessageDigest;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.jar.JarInputStream;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
@@ -24,16 +32,26 @@ import java.util.zip.ZipFile;
 public class PropertiesLocator {
 
 	public static void main(String[] args) throws Exception {
-		if (args.length != 2) {
+		List<String> arguments = parseArguments(args);
+
+		if (arguments == null) {
+			return;
+		}
+
+		if (arguments.size() != 2) {
 			System.out.println("Please, specify the following arguments: ");
 			System.out.println("URL to old portal-ext.properties");
 			System.out.println("URL to a Liferay bundle");
+			System.out.println("And optionally:");
+			System.out.println("--max-heap-index <number of keys> to move the bundle index to disk once it has more keys than that");
+			System.out.println("--include <patterns> comma separated file name patterns of modules which must always be analyzed");
+			System.out.println("--similarity <0-1> min similarity of words to match properties which haven't been found by name, 1 disables it");
 
 			return;
 		}
 
-		String oldPropertiesFileURL = args[0];
-		String bundleURL = args[1];
+		String oldPropertiesFileURL = arguments.get(0);
+		String bundleURL = arguments.get(1);
 
 		_outputFile = generateOutputFile();
 
@@ -45,27 +63,32 @@ public class PropertiesLocator {
 		try {
 			Properties oldProperties = getProperties(oldPropertiesFileURL);
 
-			Properties newProperties = getCurrentPortalProperties(bundleURL);
+			Set<String> oldPropertyNames = oldProperties.stringPropertyNames();
 
-			SortedSet<String> remainedProperties = new TreeSet<String>();
+			Path portalImplPath = getPortalImplPath(bundleURL);
 
-			SortedSet<String> removedProperties = getRemovedProperties(oldProperties, newProperties, remainedProperties);
+			// Results of previous executions against the same bundle are reused, so only new properties are analyzed
+			String bundleIndexVersion = getBundleIndexVersion(bundleURL, portalImplPath);
 
-			removedProperties = manageExceptions(removedProperties);
+			Path cacheFile = Paths.get(_CACHE_DIR_NAME, bundleIndexVersion + ".cache");
 
-			_outputFile.println();
-			removedProperties = checkPortletProperties(removedProperties, bundleURL + "/osgi");
+			SortedMap<String, PropertyResult> cachedResults = PropertyResultsCache.load(cacheFile);
 
-			_outputFile.println();
-			removedProperties = checkConfigurationProperties(removedProperties, bundleURL + "/osgi");
+			SortedSet<String> newPropertyNames = new TreeSet<>(oldPropertyNames);
 
-			_outputFile.println();
-			_outputFile.println("We haven't found a new property for the following old properties (check if you still need them or check the documentation to find a replacement):");
-			printProperties(removedProperties);
+			newPropertyNames.removeAll(cachedResults.keySet());
 
-			_outputFile.println();
-			_outputFile.println("The following properties still exist in the new portal.properties:");
-			printProperties(remainedProperties);
+			if (newPropertyNames.size() > 0) {
+				cachedResults.putAll(analyzeProperties(newPropertyNames, portalImplPath, bundleURL, bundleIndexVersion));
+
+				PropertyResultsCache.store(cacheFile, cachedResults);
+			}
+
+			SortedMap<String, PropertyResult> results = new TreeMap<>(cachedResults);
+
+			results.keySet().retainAll(oldPropertyNames);
+
+			printReport(results);
 
 			System.out.println("Done!");
 		}
@@ -74,26 +97,248 @@ public class PropertiesLocator {
 		}
 	}
 
-	protected static Properties getCurrentPortalProperties(String bundleURL) throws Exception {
-		Properties properties = new Properties();
+	/*
+		Returns the arguments which are not options or null if some option is not valid
+	 */
+	protected static List<String> parseArguments(String[] args) {
+		List<String> arguments = new ArrayList<>();
+		List<String> includePatterns = new ArrayList<>();
+
+		for (int i = 0; i < args.length; i++) {
+			String arg = args[i];
+
+			if (arg.equals("--max-heap-index")) {
+				if (i == (args.length - 1)) {
+					System.out.println("Option --max-heap-index needs the max number of keys to keep in memory");
+
+					return null;
+				}
+
+				try {
+					_maxHeapIndexSize = Integer.parseInt(args[++i]);
+				}
+				catch (NumberFormatException nfe) {
+					_maxHeapIndexSize = 0;
+				}
+
+				if (_maxHeapIndexSize <= 0) {
+					System.out.println("Invalid number of keys for --max-heap-index, it must be greater than 0: " + args[i]);
+
+					return null;
+				}
+			}
+			else if (arg.equals("--include")) {
+				if (i == (args.length - 1)) {
+					System.out.println("Option --include needs the file name patterns of the modules to include");
+
+					return null;
+				}
+
+				for (String includePattern : StringUtil.split(args[++i], StringPool.COMMA)) {
+					includePatterns.add(includePattern.trim());
+				}
+			}
+			else if (arg.equals("--similarity")) {
+				if (i == (args.length - 1)) {
+					System.out.println("Option --similarity needs a number between 0 and 1");
+
+					return null;
+				}
 
-		try (Stream<Path> paths = Files.find(
-				Paths.get(bundleURL), Integer.MAX_VALUE,
-				(path,attrs) -> attrs.isRegularFile()
-						&& path.toString().endsWith(_PORTAL_IMPL_RELATIVE_PATH))) {
-			paths.limit(1).forEach(path -> {
 				try {
-					getPropertiesFromJar("jar:file:" + path.toString() + "!/portal.properties", properties);
-				} catch (Exception e) {
-					e.printStackTrace();
+					_similarity = Double.parseDouble(args[++i]);
+				}
+				catch (NumberFormatException nfe) {
+					_similarity = -1;
+				}
+
+				if ((_similarity <= 0) || (_similarity > 1)) {
+					System.out.println("Invalid similarity for --similarity: " + args[i]);
+
+					return null;
 				}
-			});
+			}
+			else {
+				arguments.add(arg);
+			}
 		}
 
-		if (properties.size() == 0) {
+		_moduleFilter = new ModuleManifestFilter(includePatterns);
+
+		return arguments;
+	}
+
+	protected static SortedMap<String, PropertyResult> analyzeProperties(SortedSet<String> propertyNames, Path portalImplPath, String bundleURL, String bundleIndexVersion) throws Exception {
+		SortedMap<String, PropertyResult> results = new TreeMap<>();
+
+		Properties newProperties = getCurrentPortalProperties(portalImplPath);
+
+		SortedSet<String> removedProperties = getRemovedProperties(propertyNames, newProperties, results);
+
+		removedProperties = manageExceptions(removedProperties, results);
+
+		Path portletsIndexFile = Paths.get(_CACHE_DIR_NAME, bundleIndexVersion + ".portlets.index");
+		Path configurationsIndexFile = Paths.get(_CACHE_DIR_NAME, bundleIndexVersion + ".configurations.index");
+
+		try (PropertiesIndex portletsProperties = new PropertiesIndex(_maxHeapIndexSize);
+			PropertiesIndex configurationProperties = new PropertiesIndex(_maxHeapIndexSize)) {
+
+			// The candidates found by a previous execution against the same bundle are reused, so modules are only read once
+			if (Files.exists(portletsIndexFile) && Files.exists(configurationsIndexFile)) {
+				portletsProperties.load(portletsIndexFile);
+				configurationProperties.load(configurationsIndexFile);
+			}
+			else {
+				collectBundleProperties(bundleURL + "/osgi", portletsProperties, configurationProperties);
+
+				Files.createDirectories(portletsIndexFile.toAbsolutePath().getParent());
+
+				portletsProperties.store(portletsIndexFile);
+				configurationProperties.store(configurationsIndexFile);
+			}
+
+			removedProperties = checkPortletProperties(removedProperties, portletsProperties, results);
+
+			removedProperties = checkConfigurationProperties(removedProperties, configurationProperties, results);
+
+			if ((removedProperties.size() > 0) && (_similarity < 1)) {
+				removedProperties = checkApproximateProperties(removedProperties, portletsProperties, configurationProperties, results);
+			}
+		}
+
+		for (String property : removedProperties) {
+			getPropertyResult(property, results).setType(PropertyResult.Type.NOT_FOUND);
+		}
+
+		return results;
+	}
+
+	/*
+		Changes whenever a module or portal-impl.jar is added, removed or modified in the bundle, or when the options
+		which change the results or the format of the stored indexes do
+	 */
+	protected static String getBundleIndexVersion(String bundleURL, Path portalImplPath) throws Exception {
+		MessageDigest digest = MessageDigest.getInstance("SHA-1");
+
+		String options = String.join(StringPool.COMMA, _moduleFilter.getIncludePatterns()) + StringPool.NEW_LINE + _similarity + StringPool.NEW_LINE + _INDEX_VERSION + StringPool.NEW_LINE;
+
+		digest.update(options.getBytes(StandardCharsets.UTF_8));
+
+		List<Path> indexedPaths = getModulePaths(bundleURL + "/osgi");
+
+		indexedPaths.add(portalImplPath);
+
+		indexedPaths.stream().sorted().forEach(path -> {
+			File file = path.toFile();
+
+			String fileVersion = file.getAbsolutePath() + StringPool.COLON + file.length() + StringPool.COLON + file.lastModified() + StringPool.NEW_LINE;
+
+			digest.update(fileVersion.getBytes(StandardCharsets.UTF_8));
+		});
+
+		StringBuilder sb = new StringBuilder();
+
+		for (byte b : digest.digest()) {
+			sb.append(String.format("%02x", b));
+		}
+
+		return sb.toString();
+	}
+
+	/*
+		Jar and lpkg files of the osgi folder, in the order they are found. The state folder is not walked since it
+		only has the copies of the framework
+	 */
+	protected static List<Path> getModulePaths(String rootPath) throws IOException {
+		Path root = Paths.get(rootPath);
+
+		List<Path> modulePaths = new ArrayList<>();
+
+		Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+
+			@Override
+			public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+				if (root.resolve("state").equals(dir)) {
+					return FileVisitResult.SKIP_SUBTREE;
+				}
+
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+				String fileName = file.getFileName().toString();
+
+				if (fileName.endsWith(".jar") || fileName.endsWith(".lpkg")) {
+					modulePaths.add(file);
+				}
+
+				return FileVisitResult.CONTINUE;
+			}
+
+		});
+
+		return modulePaths;
+	}
+
+	/*
+		portal-impl.jar is in the folder of the application server, the folders of the bundle which can be big, like
+		data or osgi, are not walked
+	 */
+	protected static Path getPortalImplPath(String bundleURL) throws Exception {
+		Path bundle = Paths.get(bundleURL);
+
+		List<Path> portalImplPaths = new ArrayList<>();
+
+		Files.walkFileTree(bundle, new SimpleFileVisitor<Path>() {
+
+			@Override
+			public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+				if (bundle.equals(dir.getParent()) && _NOT_APP_SERVER_DIR_NAMES.contains(dir.getFileName().toString())) {
+					return FileVisitResult.SKIP_SUBTREE;
+				}
+
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+				if (file.toString().endsWith(_PORTAL_IMPL_RELATIVE_PATH)) {
+					portalImplPaths.add(file);
+
+					return FileVisitResult.TERMINATE;
+				}
+
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult visitFileFailed(Path file, IOException ioe) {
+				return FileVisitResult.CONTINUE;
+			}
+
+		});
+
+		if (portalImplPaths.isEmpty()) {
 			throw new Exception("File portal.properties doesn't exist in " + bundleURL);
 		}
 
+		return portalImplPaths.get(0);
+	}
+
+	protected static PropertyResult getPropertyResult(String property, Map<String, PropertyResult> results) {
+		return results.computeIfAbsent(property, key -> new PropertyResult());
+	}
+
+	protected static Properties getCurrentPortalProperties(Path portalImplPath) throws Exception {
+		Properties properties = new Properties();
+
+		getPropertiesFromJar("jar:file:" + portalImplPath.toString() + "!/portal.properties", properties);
+
+		if (properties.size() == 0) {
+			throw new Exception("File portal.properties doesn't exist in " + portalImplPath);
+		}
+
 		return properties;
 	}
 
@@ -131,19 +376,15 @@ public class PropertiesLocator {
 		}
 	}
 
-	protected static SortedSet<String> getRemovedProperties(Properties oldProperties, Properties newProperties, SortedSet<String> remainedProperties) {
+	protected static SortedSet<String> getRemovedProperties(Set<String> oldPropertyNames, Properties newProperties, Map<String, PropertyResult> results) {
 		SortedSet<String> removedProperties = new TreeSet<String>();
 
-		Enumeration enuKeys = oldProperties.keys();
-
-		while (enuKeys.hasMoreElements()) {
-			String key = enuKeys.nextElement().toString();
-
+		for (String key : oldPropertyNames) {
 			if (newProperties.getProperty(key) == null) {
 				removedProperties.add(key);
 			}
 			else {
-				remainedProperties.add(key);
+				getPropertyResult(key, results).setType(PropertyResult.Type.REMAINED);
 			}
 		}
 
@@ -165,280 +406,400 @@ public class PropertiesLocator {
 		}
 	}
 
-	protected static SortedSet<String> checkPortletProperties(SortedSet<String> properties, String rootPath) throws Exception {
-		List<Pair<String, String[]>> portletsProperties = new ArrayList<>();
-
-		Files.walk(Paths.get(rootPath))
-				// We don't need to analyze war files since, they are still like in previous versions so properties still remain in the same place
-				.filter(path -> ((path.toFile().getAbsolutePath().endsWith(".jar")) || (path.toFile().getAbsolutePath().endsWith(".lpkg"))) && (!path.toFile().getAbsolutePath().contains("/osgi/state/")))
-				.forEach(path -> {
-					try {
-						String absolutePath = path.toFile().getAbsolutePath();
-
-						Properties portletProperties = new Properties();
+	/*
+		Reads every module once, looking for both portlet properties and configurations. Configurations are added with
+		only their own fields to an index which can be spilled like the others, and only the super class of every
+		configuration is kept in heap until inherited fields are resolved
+	 */
+	protected static void collectBundleProperties(String rootPath, PropertiesIndex portletsProperties, PropertiesIndex configurationProperties) throws IOException {
+		try (PropertiesIndex declaredConfigurations = new PropertiesIndex(_maxHeapIndexSize)) {
+			Map<String, String> superClasses = new HashMap<>();
 
-						if (isLiferayJar(absolutePath)) {
-							JarFile jar = new JarFile(absolutePath);
+			collectBundleProperties(rootPath, portletsProperties, declaredConfigurations, superClasses);
 
-							JarEntry portletPropertiesFile = jar.getJarEntry("portlet.properties");
+			getConfigurationProperties(declaredConfigurations, superClasses, configurationProperties);
+		}
+	}
 
-							if (portletPropertiesFile != null) {
-								getPropertiesFromJar("jar:file:" + absolutePath + "!/portlet.properties", portletProperties);
-							}
+	protected static void collectBundleProperties(String rootPath, PropertiesIndex portletsProperties, PropertiesIndex declaredConfigurations, Map<String, String> superClasses) throws IOException {
+		// We don't need to analyze war files since, they are still like in previous versions so properties still remain in the same place
+		for (Path path : getModulePaths(rootPath)) {
+			String absolutePath = path.toFile().getAbsolutePath();
 
-							Enumeration enuKeys = portletProperties.keys();
+			if (absolutePath.endsWith(".jar")) {
+				try (JarFile jar = new JarFile(absolutePath)) {
+					collectModuleProperties(absolutePath, jar, portletsProperties, declaredConfigurations, superClasses);
+				}
+				catch (Exception e) {
+					System.out.println("Unable to read the content of " + absolutePath);
+				}
+			}
+			else {
+				try (ZipFile zipFile = new ZipFile(absolutePath)) {
+					Enumeration<? extends ZipEntry> enu = zipFile.entries();
 
-							String[] propertyKeys = new String[0];
+					while (enu.hasMoreElements()) {
+						ZipEntry zipEntry = enu.nextElement();
 
-							while (enuKeys.hasMoreElements()) {
-								propertyKeys = ArrayUtil.append(propertyKeys, (String) enuKeys.nextElement());
+						if (zipEntry.getName().endsWith(".jar")) {
+							try (JarInputStream jarIs = new JarInputStream(zipFile.getInputStream(zipEntry))) {
+								collectModuleProperties(absolutePath + "/" + zipEntry.getName(), zipEntry.getName(), jarIs, portletsProperties, declaredConfigurations, superClasses);
 							}
-
-							if (propertyKeys.length != 0) {
-								portletsProperties.add(new Pair<String, String[]>(absolutePath + "/portlet.properties", propertyKeys));
+							catch (Exception e) {
+								continue;
 							}
 						}
-						else if (absolutePath.endsWith(".lpkg")) {
-							ZipFile zipFile = new ZipFile(absolutePath);
+					}
+				}
+				catch (Exception e) {
+					System.out.println("Unable to read the content of " + absolutePath);
+				}
+			}
+		}
 
-							Enumeration enu = zipFile.entries();
+		portletsProperties.finish();
+		declaredConfigurations.finish();
+	}
 
-							while(enu.hasMoreElements()) {
-								ZipEntry zipEntry = (ZipEntry) enu.nextElement();
+	/*
+		Entries of a jar are found in its central directory, so every module is looked for a portlet.properties without
+		reading the rest of it. Configurations are read like in modules inside lpkg files, when the manifest shows the
+		module can have them
+	 */
+	protected static void collectModuleProperties(String modulePath, JarFile jar, PropertiesIndex portletsProperties, PropertiesIndex declaredConfigurations, Map<String, String> superClasses) throws Exception {
+		JarEntry portletPropertiesFile = jar.getJarEntry("portlet.properties");
 
-								if (isLiferayJar(zipEntry.getName())) {
-									try (JarInputStream jarIs = new JarInputStream(zipFile.getInputStream(zipEntry))) {
-										ZipEntry zipEntryJar = jarIs.getNextEntry();
+		if (portletPropertiesFile != null) {
+			try (InputStream is = jar.getInputStream(portletPropertiesFile)) {
+				addPortletProperties(modulePath, is, portletsProperties);
+			}
+		}
 
-										while (zipEntryJar != null) {
-											if (zipEntryJar.getName().equals("portlet.properties")) {
-												portletProperties = new Properties();
+		if (!_moduleFilter.mayContainConfiguration(Paths.get(modulePath).getFileName().toString(), jar.getManifest())) {
+			return;
+		}
 
-												portletProperties.load(jarIs);
+		Map<String, ConfigurationClassData> metatypeConfigurations = new HashMap<>();
+		Map<String, ConfigurationClassData> configurationClasses = new HashMap<>();
 
-												Enumeration enuKeys = portletProperties.keys();
+		Enumeration<JarEntry> enu = jar.entries();
 
-												String[] propertyKeys = new String[0];
+		while (enu.hasMoreElements()) {
+			JarEntry jarEntry = enu.nextElement();
 
-												while (enuKeys.hasMoreElements()) {
-													propertyKeys = ArrayUtil.append(propertyKeys, (String) enuKeys.nextElement());
-												}
+			if (isConfigurationEntry(jarEntry.getName(), metatypeConfigurations)) {
+				try (InputStream is = jar.getInputStream(jarEntry)) {
+					collectConfiguration(jarEntry.getName(), is, metatypeConfigurations, configurationClasses);
+				}
+			}
+		}
 
-												if (propertyKeys.length != 0) {
-													portletsProperties.add(new Pair<String, String[]>(absolutePath + "/" + zipEntry.getName() + "/portlet.properties", propertyKeys));
-												}
+		addConfigurations(metatypeConfigurations, configurationClasses, declaredConfigurations, superClasses);
+	}
 
-												break;
-											}
+	/*
+		Modules inside lpkg files can only be read sequentially, so they are read only up to where it's needed. Nothing in
+		the manifest shows whether a module has a portlet.properties, so Liferay and included modules are read until it's
+		found, which is up to the end in most of them
+	 */
+	protected static void collectModuleProperties(String modulePath, String moduleName, JarInputStream jarIs, PropertiesIndex portletsProperties, PropertiesIndex declaredConfigurations, Map<String, String> superClasses) throws Exception {
+		boolean portletProperties = _moduleFilter.isAnalyzed(moduleName);
 
-											zipEntryJar = jarIs.getNextEntry();
-										}
-									}
-									catch (Exception e) {
-										continue;
-									}
-								}
-							}
-						}
-					}
-					catch (Exception e) {
-						System.out.println("Unable to get portlet properties");
+		// Only the manifest has been read at this point
+		boolean configuration = _moduleFilter.mayContainConfiguration(moduleName, jarIs.getManifest());
 
-						e.printStackTrace();
+		Map<String, ConfigurationClassData> metatypeConfigurations = new HashMap<>();
+		Map<String, ConfigurationClassData> configurationClasses = new HashMap<>();
 
-						return;
-					}
-				});
+		ZipEntry zipEntryJar = jarIs.getNextEntry();
 
-		SortedMap<String, List<Pair<String, String>>> foundedProperties = new TreeMap<>();
+		while ((zipEntryJar != null) && (portletProperties || configuration)) {
+			String name = zipEntryJar.getName();
 
-		for (String property : properties) {
-			List<Pair<String, String>> mostLikelyMatches = getMostLikelyMatches(property, portletsProperties, getPortletNames(property));
+			if (portletProperties && name.equals("portlet.properties")) {
+				addPortletProperties(modulePath, jarIs, portletsProperties);
 
-			if (mostLikelyMatches.size() > 0) {
-				foundedProperties.put(property, mostLikelyMatches);
+				portletProperties = false;
 			}
+			else if (configuration && isConfigurationEntry(name, metatypeConfigurations)) {
+				collectConfiguration(name, jarIs, metatypeConfigurations, configurationClasses);
+			}
+
+			zipEntryJar = jarIs.getNextEntry();
 		}
 
-		if (foundedProperties.size() > 0) {
-			_outputFile.println("Some properties have been moved to a module portlet.properties: ");
+		addConfigurations(metatypeConfigurations, configurationClasses, declaredConfigurations, superClasses);
+	}
 
-			for (Map.Entry<String, List<Pair<String, String>>> entry : foundedProperties.entrySet()) {
-				String foundedProperty = entry.getKey();
+	protected static void addPortletProperties(String modulePath, InputStream is, PropertiesIndex portletsProperties) throws IOException {
+		Properties portletProperties = new Properties();
 
-				_outputFile.print("\t");
-				_outputFile.println(foundedProperty + " can match with the following portlet properties:");
+		portletProperties.load(is);
 
-				List<Pair<String, String>> matches = entry.getValue();
+		Enumeration enuKeys = portletProperties.keys();
 
-				for (Pair<String, String> match : matches) {
-					_outputFile.print("\t\t");
-					_outputFile.println(match.second + " from " + match.first);
-				}
+		String[] propertyKeys = new String[0];
 
-				properties.remove(foundedProperty);
-			}
+		while (enuKeys.hasMoreElements()) {
+			propertyKeys = ArrayUtil.append(propertyKeys, (String) enuKeys.nextElement());
 		}
 
+		if (propertyKeys.length != 0) {
+			portletsProperties.add(modulePath + "/portlet.properties", propertyKeys);
+		}
+	}
+
+	protected static SortedSet<String> checkPortletProperties(SortedSet<String> properties, PropertiesIndex portletsProperties, Map<String, PropertyResult> results) {
+		SortedMap<String, List<Pair<String, String>>> foundedProperties = getFoundedProperties(
+			properties, property -> getMostLikelyMatches(property, portletsProperties));
+
+		addMatches(foundedProperties, PropertyResult.Type.PORTLET, results, portletsProperties);
+
+		properties.removeAll(foundedProperties.keySet());
+
 		return properties;
 	}
 
-	protected static SortedSet<String> checkConfigurationProperties(SortedSet<String> properties, String rootPath) throws IOException {
-		Map<String, ConfigurationClassData> configClassesMap = new HashMap<>();
+	/*
+		Stores the matches of every founded property with their description from the indexes they come from
+	 */
+	protected static void addMatches(SortedMap<String, List<Pair<String, String>>> foundedProperties, PropertyResult.Type type, Map<String, PropertyResult> results, PropertiesIndex... indexes) {
+		Set<Pair<String, String>> matches = new HashSet<>();
 
-		Files.walk(Paths.get(rootPath))
-				.filter(path -> ((path.toFile().getAbsolutePath().endsWith(".jar")) || (path.toFile().getAbsolutePath().endsWith(".lpkg"))) && (!path.toFile().getAbsolutePath().contains("/osgi/state/")))
-				.forEach(path -> {
-					try {
-						String absolutePath = path.toFile().getAbsolutePath();
+		for (List<Pair<String, String>> propertyMatches : foundedProperties.values()) {
+			matches.addAll(propertyMatches);
+		}
 
-						if (isLiferayJar(absolutePath)) {
-							try (JarInputStream jarIs = new JarInputStream(new FileInputStream(absolutePath))) {
-								ZipEntry zipEntryJar = jarIs.getNextEntry();
+		Map<Pair<String, String>, String> descriptions = new HashMap<>();
 
-								while (zipEntryJar != null) {
-									if (zipEntryJar.getName().endsWith("Configuration.class")) {
-										configClassesMap.put(zipEntryJar.getName().replace(".class", StringPool.BLANK), new ConfigurationClassData(jarIs));
-									}
+		for (PropertiesIndex index : indexes) {
+			descriptions.putAll(index.getDescriptions(matches));
+		}
 
-									zipEntryJar = jarIs.getNextEntry();
-								}
-							}
-							catch (Exception e) {
-								System.out.println("Unable to read the content of " + absolutePath);
+		for (Map.Entry<String, List<Pair<String, String>>> entry : foundedProperties.entrySet()) {
+			PropertyResult result = getPropertyResult(entry.getKey(), results);
 
-								return;
-							}
-						}
-						else if (absolutePath.endsWith(".lpkg")) {
-							ZipFile zipFile = new ZipFile(absolutePath);
-
-							Enumeration enu = zipFile.entries();
-
-							while(enu.hasMoreElements()) {
-								ZipEntry zipEntry = (ZipEntry) enu.nextElement();
-
-								if (isLiferayJar(zipEntry.getName())) {
-									try (JarInputStream jarIs = new JarInputStream(zipFile.getInputStream(zipEntry))) {
-										ZipEntry zipEntryJar = jarIs.getNextEntry();
-
-										while (zipEntryJar != null) {
-											if (zipEntryJar.getName().endsWith("Configuration.class")) {
-												configClassesMap.put(zipEntryJar.getName().replace(".class", StringPool.BLANK), new ConfigurationClassData(jarIs));
-											}
-
-											zipEntryJar = jarIs.getNextEntry();
-										}
-									}
-									catch (Exception e) {
-										continue;
-									}
-								}
-							}
-						}
-					}
-					catch (Exception e) {
-						System.out.println("Unable to get portlet properties");
+			result.setType(type);
 
-						e.printStackTrace();
+			for (Pair<String, String> match : entry.getValue()) {
+				result.addMatch(descriptions.get(match));
+			}
+		}
+	}
 
-						return;
-					}
-				});
+	/*
+		Configurations of a module are read from its metatype XML files. Only modules without them need to have their
+		configuration classes parsed
+	 */
+	protected static boolean isConfigurationEntry(String name, Map<String, ConfigurationClassData> metatypeConfigurations) {
+		if (name.startsWith("OSGI-INF/metatype/") && name.endsWith(".xml")) {
+			return true;
+		}
 
+		// bnd stores OSGI-INF before the classes, so in most modules no class is parsed once metatype has been found
+		return metatypeConfigurations.isEmpty() && name.endsWith("Configuration.class");
+	}
 
-		List<Pair<String, String[]>> configurationProperties = getConfigurationProperties(configClassesMap);
+	/*
+		Configurations from metatype are stored using their OCD id as a class name
+	 */
+	protected static void collectConfiguration(String name, InputStream is, Map<String, ConfigurationClassData> metatypeConfigurations, Map<String, ConfigurationClassData> configurationClasses) throws Exception {
+		if (name.endsWith(".xml")) {
+			Map<String, ConfigurationClassData> configurations = new ConfigurationMetatypeData(is).getConfigurations();
 
-		SortedMap<String, List<Pair<String, String>>> foundedProperties = new TreeMap<>();
+			for (Map.Entry<String, ConfigurationClassData> configuration : configurations.entrySet()) {
+				String className = StringUtil.replace(configuration.getKey(), StringPool.PERIOD.charAt(0), StringPool.FORWARD_SLASH.charAt(0));
 
-		for (String property : properties) {
-			List<Pair<String, String>> mostLikelyMatches = getMostLikelyMatches(property, configurationProperties, getPortletNames(property));
+				metatypeConfigurations.put(className, configuration.getValue());
+			}
+		}
+		else {
+			configurationClasses.put(name.replace(".class", StringPool.BLANK), new ConfigurationClassData(is));
+		}
+	}
+
+	/*
+		Configurations of a module are only kept in heap while the module is read. The first module with a
+		configuration class wins when several of them have it
+	 */
+	protected static void addConfigurations(Map<String, ConfigurationClassData> metatypeConfigurations, Map<String, ConfigurationClassData> configurationClasses, PropertiesIndex declaredConfigurations, Map<String, String> superClasses) throws IOException {
+		Map<String, ConfigurationClassData> configurations = metatypeConfigurations.isEmpty() ? configurationClasses : metatypeConfigurations;
+
+		for (Map.Entry<String, ConfigurationClassData> configuration : configurations.entrySet()) {
+			String className = configuration.getKey();
+			ConfigurationClassData configClassData = configuration.getValue();
+
+			if (superClasses.putIfAbsent(className, configClassData.getSuperClass()) != null) {
+				continue;
+			}
+
+			String[] configFields = configClassData.getConfigFields();
+
+			String[] details = new String[configFields.length];
 
-			if (mostLikelyMatches.size() != 0) {
-				foundedProperties.put(property, mostLikelyMatches);
+			for (int i = 0; i < configFields.length; i++) {
+				details[i] = getConfigurationFieldDetails(configClassData.getConfigField(configFields[i]));
 			}
+
+			declaredConfigurations.add(className, getConfigurationPid(className, configClassData), configFields, details);
 		}
+	}
 
-		if (foundedProperties.size() != 0) {
-			_outputFile.println("Properties moved to OSGI configuration:");
+	protected static SortedSet<String> checkConfigurationProperties(SortedSet<String> properties, PropertiesIndex configurationProperties, Map<String, PropertyResult> results) {
+		SortedMap<String, List<Pair<String, String>>> foundedProperties = getFoundedProperties(
+			properties, property -> getMostLikelyMatches(property, configurationProperties));
 
-			for (SortedMap.Entry<String, List<Pair<String, String>>> entry : foundedProperties.entrySet()) {
-				String foundedProperty = entry.getKey();
+		addMatches(foundedProperties, PropertyResult.Type.CONFIGURATION, results, configurationProperties);
 
-				_outputFile.print("\t");
-				_outputFile.println(foundedProperty + " can match with the following OSGI properties:");
+		properties.removeAll(foundedProperties.keySet());
+
+		return properties;
+	}
 
-				List<Pair<String, String>> matches = entry.getValue();
+	/*
+		Second stage for the properties which haven't been found neither in portlet properties nor in configurations,
+		looking for candidates with similar words instead of the same words
+	 */
+	protected static SortedSet<String> checkApproximateProperties(SortedSet<String> properties, PropertiesIndex portletsProperties, PropertiesIndex configurationProperties, Map<String, PropertyResult> results) {
+		ApproximateMatchIndex approximateMatchIndex = new ApproximateMatchIndex(_similarity);
 
-				for (Pair<String, String> match : matches) {
-					String path = match.first;
+		approximateMatchIndex.add(portletsProperties);
+		approximateMatchIndex.add(configurationProperties);
 
-					String configFileName = StringUtil.replace(path, StringPool.FORWARD_SLASH.charAt(0), StringPool.PERIOD.charAt(0));
+		SortedMap<String, List<Pair<String, String>>> foundedProperties = getFoundedProperties(
+			properties, property -> approximateMatchIndex.getMostLikelyMatches(property, getPortletNames(property)));
 
-					_outputFile.print("\t\t");
-					_outputFile.println(match.second +  " from " +  configFileName);
-				}
+		addMatches(foundedProperties, PropertyResult.Type.APPROXIMATE, results, portletsProperties, configurationProperties);
 
-				properties.remove(foundedProperty);
-			}
-		}
+		properties.removeAll(foundedProperties.keySet());
 
 		return properties;
 	}
 
-	protected static List<Pair<String, String[]>> getConfigurationProperties(Map<String, ConfigurationClassData> configClassesMap) {
-		List<Pair<String, String[]>> configurationProperties = new ArrayList<>();
+	/*
+		What the report shows after a configuration field, null when there is nothing to add. Required fields must be
+		set in the .config file when they have no default value
+	 */
+	protected static String getConfigurationFieldDetails(ConfigurationField field) {
+		if ((field == null) || ((field.getDefaultValue() == null) && !field.isRequired())) {
+			return null;
+		}
+
+		String details = "(" + field.getType();
 
-		for (Map.Entry<String, ConfigurationClassData> configClass : configClassesMap.entrySet()) {
-			String className = configClass.getKey();
-			ConfigurationClassData configClassData = configClass.getValue();
+		if (field.getDefaultValue() != null) {
+			details += ", default: " + field.getDefaultValue();
+		}
 
-			String[] allConfigFields = addConfigurationPropertiesByHeritance(configClassData.getSuperClass(), configClassData.getConfigFields(), configClassesMap);
+		if (field.isRequired()) {
+			details += ", required";
+		}
 
+		return details + ")";
+	}
 
-			if (allConfigFields.length > 0) {
-				configurationProperties.add(new Pair<>(className, allConfigFields));
+	/*
+		Adds every configuration with the fields inherited from its super classes. Only the configurations which are
+		extended by others are kept in heap, the rest are read from the declared configurations index again
+	 */
+	protected static void getConfigurationProperties(PropertiesIndex declaredConfigurations, Map<String, String> superClasses, PropertiesIndex configurationProperties) throws IOException {
+		Set<String> extendedClassNames = new HashSet<>(superClasses.values());
+
+		Map<String, PropertiesIndex.Entry> extendedConfigurations = new HashMap<>();
+
+		for (PropertiesIndex.Entry entry : declaredConfigurations.entries()) {
+			if (extendedClassNames.contains(entry.getPath())) {
+				extendedConfigurations.put(entry.getPath(), entry);
 			}
 		}
 
-		return configurationProperties;
-	}
+		for (PropertiesIndex.Entry entry : declaredConfigurations.entries()) {
+			String[] allConfigFields = entry.getKeys();
+			String[] details = entry.getDetails();
+
+			Set<String> visitedClassNames = new HashSet<>();
+
+			PropertiesIndex.Entry superEntry = extendedConfigurations.get(superClasses.get(entry.getPath()));
 
-	protected static String[] addConfigurationPropertiesByHeritance(String superClass, String[] configFields, Map<String, ConfigurationClassData> configClassesMap) {
-		if ((!superClass.equals("java/lang/Object"))) {
-			ConfigurationClassData superClassData = configClassesMap.get(superClass);
+			while ((superEntry != null) && visitedClassNames.add(superEntry.getPath())) {
+				allConfigFields = ArrayUtil.append(allConfigFields, superEntry.getKeys());
+				details = ArrayUtil.append(details, superEntry.getDetails());
 
-			String[] superConfigFields = new String[0];
+				superEntry = extendedConfigurations.get(superClasses.get(superEntry.getPath()));
+			}
 
-			if (superClassData != null) {
-				superConfigFields = addConfigurationPropertiesByHeritance(superClassData.getSuperClass(), superClassData.getConfigFields(), configClassesMap);
+			if (allConfigFields.length > 0) {
+				configurationProperties.add(entry.getPath(), entry.getSource(), allConfigFields, details);
 			}
+		}
 
-			return ArrayUtil.append(configFields, superConfigFields);
+		configurationProperties.finish();
+	}
+
+	/*
+		The PID comes from @Meta.OCD id, when it's not present we guess it from the class name
+	 */
+	protected static String getConfigurationPid(String className, ConfigurationClassData configClassData) {
+		if (configClassData.getOcdId() != null) {
+			return configClassData.getOcdId();
 		}
 
-		return configFields;
+		return StringUtil.replace(className, StringPool.FORWARD_SLASH.charAt(0), StringPool.PERIOD.charAt(0));
+	}
+
+	/*
+		Matches of a property don't depend on the other properties, so all of them are matched in parallel by the matcher,
+		which only reads the candidates. Properties are not removed here, callers do it with the returned sorted map
+	 */
+	protected static SortedMap<String, List<Pair<String, String>>> getFoundedProperties(SortedSet<String> properties, Function<String, List<Pair<String, String>>> matcher) {
+		return properties.parallelStream()
+				.map(property -> new Pair<>(property, matcher.apply(property)))
+				.filter(match -> match.second.size() > 0)
+				.collect(Collectors.toMap(match -> match.first, match -> match.second, (first, second) -> first, TreeMap::new));
+	}
+
+	/*
+		Entries whose path doesn't contain a portlet name of the property are skipped by the index without reading their
+		keys
+	 */
+	protected static List<Pair<String, String>> getMostLikelyMatches(String property, PropertiesIndex index) {
+		String[] portletNames = getPortletNames(property);
+
+		return getMostLikelyMatches(property, index.filter(path -> pathContainsPortletName(path, portletNames)), portletNames);
 	}
 
-	protected static List<Pair<String, String>> getMostLikelyMatches(String property, List<Pair<String, String[]>> matches, String[] portletNames) {
+	protected static List<Pair<String, String>> getMostLikelyMatches(String property, Iterable<Pair<String, String[]>> matches, String[] portletNames) {
+		return getMostLikelyMatches(property, matches, portletNames, matchProperty -> getOccurrences(property, matchProperty));
+	}
+
+	/*
+		Occurrences gives how many words of a candidate are found in the property
+	 */
+	protected static List<Pair<String, String>> getMostLikelyMatches(String property, Iterable<Pair<String, String[]>> matches, String[] portletNames, ToIntFunction<String> occurrences) {
 		List<Pair<String, String>> mostLikelyMatches = new ArrayList<>();
 
 		//Default min occurrences to match
 		int maxOccurrences = 2;
 
 		for (Pair<String, String[]> match : matches) {
+			if (!pathContainsPortletName(match.first, portletNames)) {
+				continue;
+			}
+
 			for (String matchProperty : match.second) {
-				if (match(property, matchProperty, match.first, maxOccurrences, portletNames)) {
-					int occurrences = getOccurrences(property, matchProperty);
+				int matchOccurrences = occurrences.applyAsInt(matchProperty);
 
-					if (occurrences > maxOccurrences) {
-						mostLikelyMatches.clear();
+				if ((matchOccurrences == 0) || (matchOccurrences < maxOccurrences)) {
+					continue;
+				}
 
-						maxOccurrences = occurrences;
-					}
+				if (matchOccurrences > maxOccurrences) {
+					mostLikelyMatches.clear();
 
-					mostLikelyMatches.add(new Pair<>(match.first, matchProperty));
+					maxOccurrences = matchOccurrences;
 				}
+
+				mostLikelyMatches.add(new Pair<>(match.first, matchProperty));
 			}
 		}
 
@@ -497,12 +858,7 @@ public class PropertiesLocator {
 	protected static int getOccurrences(String originalProperty, String property) {
 		String originalPropertyWithoutPrefix = removeCommonPrefix(originalProperty);
 
-		if (!property.contains(StringPool.PERIOD)) {
-			//Camel case property
-			property = CamelCaseUtil.fromCamelCase(property, StringPool.PERIOD.charAt(0));
-		}
-
-		String[] propertyWords = StringUtil.split(property, StringPool.PERIOD);
+		String[] propertyWords = getPropertyWords(property);
 
 		String[] originalPropertyWords = StringUtil.split(originalPropertyWithoutPrefix, StringPool.PERIOD);
 		List<String> originalPropertyWordsList = ListUtil.fromArray(originalPropertyWords);
@@ -566,20 +922,6 @@ public class PropertiesLocator {
 		return true;
 	}
 
-	protected static boolean match(String originalProperty, String newProperty, String newPropertyPath, int minOccurrences, String[] portletNames) {
-		if (!pathContainsPortletName(newPropertyPath, portletNames)) {
-			return false;
-		}
-
-		int numOccurrences = getOccurrences(originalProperty, newProperty);
-
-		if ((numOccurrences == 0) || (numOccurrences < minOccurrences)) {
-			return false;
-		}
-
-		return true;
-	}
-
 	protected static boolean pathContainsPortletName(String propertyPath, String[] portletNames) {
 		for (String portletName : portletNames) {
 			portletName = getEquivalence(portletName);
@@ -594,13 +936,22 @@ public class PropertiesLocator {
 		return false;
 	}
 
-	protected static boolean matchSuffix(String originalProperty, String property) {
+	protected static String[] getPropertyWords(String property) {
 		if (!property.contains(StringPool.PERIOD)) {
 			//Camel case property
 			property = CamelCaseUtil.fromCamelCase(property, StringPool.PERIOD.charAt(0));
 		}
 
-		String[] propertyWords = StringUtil.split(property, StringPool.PERIOD);
+		return StringUtil.split(property, StringPool.PERIOD);
+	}
+
+	protected static boolean matchSuffix(String originalProperty, String property) {
+		String[] propertyWords = getPropertyWords(property);
+
+		// A property of a single word has no suffix to compare
+		if (propertyWords.length < 2) {
+			return false;
+		}
 
 		String propertySuffix = propertyWords[propertyWords.length-2] + StringPool.PERIOD + propertyWords[propertyWords.length-1];
 
@@ -612,37 +963,30 @@ public class PropertiesLocator {
 		}
 	}
 
-	protected static SortedSet<String> manageExceptions(SortedSet<String> properties) {
+	protected static SortedSet<String> manageExceptions(SortedSet<String> properties, Map<String, PropertyResult> results) {
 		Set<String> removedProperties = new HashSet<String>();
-		SortedSet<String> informationToPrint = new TreeSet<String>();
 
 		for (String property : properties) {
 			if (property.endsWith("display.templates.config") && !property.equals("blogs.display.templates.config") && !property.equals("dl.display.templates.config")) {
 				removedProperties.add(property);
 
-				informationToPrint.add(property + " does not exist anymore. OverWrite the method in the ADT handler. See LPS-67466");
+				PropertyResult result = getPropertyResult(property, results);
+
+				result.setType(PropertyResult.Type.EXCEPTION);
+				result.setInformation(property + " does not exist anymore. OverWrite the method in the ADT handler. See LPS-67466");
 			}
 
 			if (property.endsWith("breadcrumb.display.style.default")) {
-				informationToPrint.add(property + " has been replaced by ddmTemplateKeyDefault in com.liferay.site.navigation.breadcrumb.web.configuration.SiteNavigationBreadcrumbWebTemplateConfiguration. More information at Breaking Changes for Liferay 7: https://dev.liferay.com/develop/reference/-/knowledge_base/7-0/breaking-changes#replaced-the-breadcrumb-portlets-display-styles-with-adts");
+				getPropertyResult(property, results).setInformation(property + " has been replaced by ddmTemplateKeyDefault in com.liferay.site.navigation.breadcrumb.web.configuration.SiteNavigationBreadcrumbWebTemplateConfiguration. More information at Breaking Changes for Liferay 7: https://dev.liferay.com/develop/reference/-/knowledge_base/7-0/breaking-changes#replaced-the-breadcrumb-portlets-display-styles-with-adts");
 			}
 
 
 			if (property.endsWith("breadcrumb.display.style.options")) {
-				informationToPrint.add(property + " does not exist anymore. Any DDM template as ddmTemplate_BREADCRUMB-HORIZONTAL-FTL can be used. More information at Breaking Changes for Liferay 7: https://dev.liferay.com/develop/reference/-/knowledge_base/7-0/breaking-changes#replaced-the-breadcrumb-portlets-display-styles-with-adts");
+				getPropertyResult(property, results).setInformation(property + " does not exist anymore. Any DDM template as ddmTemplate_BREADCRUMB-HORIZONTAL-FTL can be used. More information at Breaking Changes for Liferay 7: https://dev.liferay.com/develop/reference/-/knowledge_base/7-0/breaking-changes#replaced-the-breadcrumb-portlets-display-styles-with-adts");
 			}
 		}
 
-		if (removedProperties.size() > 0) {
-			_outputFile.println("Following portal properties present an exception:");
-
-			for (String information : informationToPrint) {
-				_outputFile.print("\t");
-				_outputFile.println(information);
-			}
-
-			properties.removeAll(removedProperties);
-		}
+		properties.removeAll(removedProperties);
 
 		return properties;
 	}
@@ -663,6 +1007,105 @@ public class PropertiesLocator {
 		return property;
 	}
 
+	protected static void printReport(SortedMap<String, PropertyResult> results) {
+		SortedSet<String> informationToPrint = new TreeSet<String>();
+		SortedMap<String, List<String>> portletProperties = new TreeMap<>();
+		SortedMap<String, List<String>> configurationProperties = new TreeMap<>();
+		SortedMap<String, List<String>> approximateProperties = new TreeMap<>();
+		SortedSet<String> removedProperties = new TreeSet<String>();
+		SortedSet<String> remainedProperties = new TreeSet<String>();
+
+		boolean exceptions = false;
+
+		for (Map.Entry<String, PropertyResult> entry : results.entrySet()) {
+			String property = entry.getKey();
+			PropertyResult result = entry.getValue();
+
+			if (result.getInformation() != null) {
+				informationToPrint.add(result.getInformation());
+			}
+
+			switch (result.getType()) {
+				case EXCEPTION:
+					exceptions = true;
+
+					break;
+				case PORTLET:
+					portletProperties.put(property, result.getMatches());
+
+					break;
+				case CONFIGURATION:
+					configurationProperties.put(property, result.getMatches());
+
+					break;
+				case APPROXIMATE:
+					approximateProperties.put(property, result.getMatches());
+
+					break;
+				case NOT_FOUND:
+					removedProperties.add(property);
+
+					break;
+				case REMAINED:
+					remainedProperties.add(property);
+
+					break;
+			}
+		}
+
+		if (exceptions) {
+			_outputFile.println("Following portal properties present an exception:");
+
+			for (String information : informationToPrint) {
+				_outputFile.print("\t");
+				_outputFile.println(information);
+			}
+		}
+
+		_outputFile.println();
+
+		if (portletProperties.size() > 0) {
+			_outputFile.println("Some properties have been moved to a module portlet.properties: ");
+
+			printMatches(portletProperties, " can match with the following portlet properties:");
+		}
+
+		_outputFile.println();
+
+		if (configurationProperties.size() > 0) {
+			_outputFile.println("Properties moved to OSGI configuration:");
+
+			printMatches(configurationProperties, " can match with the following OSGI properties:");
+		}
+
+		if (approximateProperties.size() > 0) {
+			_outputFile.println();
+			_outputFile.println("Properties which could have been renamed (the names are similar, check them carefully):");
+
+			printMatches(approximateProperties, " is similar to the following properties:");
+		}
+
+		_outputFile.println();
+		_outputFile.println("We haven't found a new property for the following old properties (check if you still need them or check the documentation to find a replacement):");
+		printProperties(removedProperties);
+
+		_outputFile.println();
+		_outputFile.println("The following properties still exist in the new portal.properties:");
+		printProperties(remainedProperties);
+	}
+
+	protected static void printMatches(SortedMap<String, List<String>> foundedProperties, String header) {
+		for (Map.Entry<String, List<String>> entry : foundedProperties.entrySet()) {
+			_outputFile.print("\t");
+			_outputFile.println(entry.getKey() + header);
+
+			for (String match : entry.getValue()) {
+				_outputFile.print("\t\t");
+				_outputFile.println(match);
+			}
+		}
+	}
+
 	protected static void printProperties(Set<String> properties) {
 		for (String property : properties) {
 			_outputFile.print("\t");
@@ -678,10 +1121,23 @@ public class PropertiesLocator {
 		_outputFile.println(StringPool.BLANK);
 	}
 
+	private static final String _CACHE_DIR_NAME = "properties-locator-cache";
+
+	// Must be changed whenever what is stored in the indexes changes, so indexes stored by older versions are not used
+	private static final int _INDEX_VERSION = 4;
+
+	private static int _maxHeapIndexSize;
+
+	private static ModuleManifestFilter _moduleFilter = new ModuleManifestFilter(new ArrayList<>());
+
 	private static PrintWriter _outputFile;
 
+	private static double _similarity = 0.6;
+
 	private static final String _PORTAL_IMPL_RELATIVE_PATH = File.separator + "WEB-INF" + File.separator + "lib" + File.separator + "portal-impl.jar";
 
+	private static final List<String> _NOT_APP_SERVER_DIR_NAMES = Arrays.asList("data", "deploy", "logs", "osgi", "patching-tool", "work");
+
 	private static final String[] _COMMON_PREFIXES = new String[] {
 			"asset", "dynamic.data.lists", "dynamic.data.mapping", "journal", "audit", "auth", "blogs", "bookmarks", "cas", "journal", "wiki"
 	};
@@ -0,0 +1,43 @@
+package com.liferay.upgrade.properties.locator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Where an old property has been found in the new version, with the lines
+ * describing every match as they are printed in the report
+ */
+public class PropertyResult {
+
+	public enum Type {
+		APPROXIMATE, CONFIGURATION, EXCEPTION, NOT_FOUND, PORTLET, REMAINED
+	}
+
+	public void addMatch(String match) {
+		_matches.add(match);
+	}
+
+	public String getInformation() {
+		return _information;
+	}
+
+	public List<String> getMatches() {
+		return _matches;
+	}
+
+	public Type getType() {
+		return _type;
+	}
+
+	public void setInformation(String information) {
+		_information = information;
+	}
+
+	public void setType(Type type) {
+		_type = type;
+	}
+
+	private String _information;
+	private List<String> _matches = new ArrayList<>();
+	private Type _type;
+}
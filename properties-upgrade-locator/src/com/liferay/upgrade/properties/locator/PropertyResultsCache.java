@@ -0,0 +1,103 @@
+package com.liferay.upgrade.properties.locator;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Stores the result of every analyzed property so a new execution against
+ * the same bundle only needs to analyze the properties it hasn't seen yet
+ */
+public class PropertyResultsCache {
+
+	public static SortedMap<String, PropertyResult> load(Path cacheFile) {
+		SortedMap<String, PropertyResult> results = new TreeMap<>();
+
+		if (!Files.exists(cacheFile)) {
+			return results;
+		}
+
+		try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(cacheFile)))) {
+			if (input.readInt() != _CACHE_FORMAT_VERSION) {
+				return results;
+			}
+
+			int size = input.readInt();
+
+			for (int i = 0; i < size; i++) {
+				String property = input.readUTF();
+
+				PropertyResult result = new PropertyResult();
+
+				result.setType(PropertyResult.Type.valueOf(input.readUTF()));
+
+				if (input.readBoolean()) {
+					result.setInformation(input.readUTF());
+				}
+
+				int matches = input.readInt();
+
+				for (int j = 0; j < matches; j++) {
+					result.addMatch(input.readUTF());
+				}
+
+				results.put(property, result);
+			}
+		}
+		catch (Exception e) {
+			System.out.println("Unable to read cache file " + cacheFile + ", all the properties will be analyzed");
+
+			results.clear();
+		}
+
+		return results;
+	}
+
+	public static void store(Path cacheFile, Map<String, PropertyResult> results) throws IOException {
+		Files.createDirectories(cacheFile.toAbsolutePath().getParent());
+
+		Path tempFile = Files.createTempFile(cacheFile.toAbsolutePath().getParent(), "results", ".tmp");
+
+		try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+			output.writeInt(_CACHE_FORMAT_VERSION);
+			output.writeInt(results.size());
+
+			for (Map.Entry<String, PropertyResult> entry : results.entrySet()) {
+				PropertyResult result = entry.getValue();
+
+				output.writeUTF(entry.getKey());
+				output.writeUTF(result.getType().name());
+
+				String information = result.getInformation();
+
+				output.writeBoolean(information != null);
+
+				if (information != null) {
+					output.writeUTF(information);
+				}
+
+				List<String> matches = result.getMatches();
+
+				output.writeInt(matches.size());
+
+				for (String match : matches) {
+					output.writeUTF(match);
+				}
+			}
+		}
+
+		// A cache file which has been partially written would be worse than no cache at all
+		Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	private static final int _CACHE_FORMAT_VERSION = 4;
+}
@@ -0,0 +1,25 @@
+package com.liferay.upgrade.properties.locator.util;
+
+import java.util.Arrays;
+
+/**
+ * Copy of the ArrayUtil methods from portal-kernel used by the tool, so it runs without portal-kernel.jar
+ */
+public class ArrayUtil {
+
+	public static String[] append(String[] array, String value) {
+		String[] newArray = Arrays.copyOf(array, array.length + 1);
+
+		newArray[array.length] = value;
+
+		return newArray;
+	}
+
+	public static String[] append(String[] array1, String[] array2) {
+		String[] newArray = Arrays.copyOf(array1, array1.length + array2.length);
+
+		System.arraycopy(array2, 0, newArray, array1.length, array2.length);
+
+		return newArray;
+	}
+}
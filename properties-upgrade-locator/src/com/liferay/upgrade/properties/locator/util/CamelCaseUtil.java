@@ -0,0 +1,41 @@
+package com.liferay.upgrade.properties.locator.util;
+
+/**
+ * Same conversion as portal-kernel CamelCaseUtil
+ */
+public class CamelCaseUtil {
+
+	public static String fromCamelCase(String s, char delimiter) {
+		StringBuilder sb = new StringBuilder(s.length() + 8);
+
+		boolean upperCase = false;
+
+		for (int i = 0; i < s.length(); i++) {
+			char c = s.charAt(i);
+
+			boolean nextUpperCase = true;
+
+			if (i < (s.length() - 1)) {
+				nextUpperCase = Character.isUpperCase(s.charAt(i + 1));
+			}
+
+			if ((i > 0) && Character.isUpperCase(c)) {
+				// Acronyms like URL are kept as a single word
+				if (!upperCase || !nextUpperCase) {
+					sb.append(delimiter);
+				}
+
+				c = Character.toLowerCase(c);
+
+				upperCase = true;
+			}
+			else {
+				upperCase = false;
+			}
+
+			sb.append(c);
+		}
+
+		return sb.toString();
+	}
+}
@@ -0,0 +1,19 @@
+package com.liferay.upgrade.properties.locator.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * ListUtil.fromArray from portal-kernel
+ */
+public class ListUtil {
+
+	public static <E> List<E> fromArray(E[] array) {
+		if ((array == null) || (array.length == 0)) {
+			return new ArrayList<>();
+		}
+
+		return new ArrayList<>(Arrays.asList(array));
+	}
+}
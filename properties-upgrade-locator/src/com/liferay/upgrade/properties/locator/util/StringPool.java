@@ -0,0 +1,21 @@
+package com.liferay.upgrade.properties.locator.util;
+
+/**
+ * Constants of portal-kernel StringPool used by the tool
+ */
+public class StringPool {
+
+	public static final String BLANK = "";
+
+	public static final String COLON = ":";
+
+	public static final String COMMA = ",";
+
+	public static final String DASH = "-";
+
+	public static final String FORWARD_SLASH = "/";
+
+	public static final String NEW_LINE = "\n";
+
+	public static final String PERIOD = ".";
+}
@@ -0,0 +1,53 @@
+package com.liferay.upgrade.properties.locator.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * split and replace behaving as in portal-kernel StringUtil
+ */
+public class StringUtil {
+
+	public static String replace(String s, char oldSub, char newSub) {
+		if (s == null) {
+			return null;
+		}
+
+		return s.replace(oldSub, newSub);
+	}
+
+	/*
+		Like portal-kernel, the string is trimmed and an empty array is returned for blank strings
+	 */
+	public static String[] split(String s, String delimiter) {
+		if ((s == null) || (delimiter == null) || delimiter.isEmpty()) {
+			return new String[0];
+		}
+
+		s = s.trim();
+
+		if (s.isEmpty() || s.equals(delimiter)) {
+			return new String[0];
+		}
+
+		List<String> values = new ArrayList<>();
+
+		int offset = 0;
+
+		int pos = s.indexOf(delimiter, offset);
+
+		while (pos != -1) {
+			values.add(s.substring(offset, pos));
+
+			offset = pos + delimiter.length();
+
+			pos = s.indexOf(delimiter, offset);
+		}
+
+		if (offset < s.length()) {
+			values.add(s.substring(offset));
+		}
+
+		return values.toArray(new String[values.size()]);
+	}
+}
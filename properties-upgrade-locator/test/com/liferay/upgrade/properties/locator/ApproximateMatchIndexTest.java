@@ -0,0 +1,97 @@
+package com.liferay.upgrade.properties.locator;
+
+import com.liferay.upgrade.properties.locator.PropertiesLocator.Pair;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ApproximateMatchIndexTest {
+
+	@Test
+	public void testOneWordCandidatesSimilarToSeveralWords() {
+		List<Pair<String, String[]>> candidates = new ArrayList<>();
+
+		candidates.add(new Pair<>("com/liferay/journal/configuration/JournalServiceConfiguration", new String[] {"enabled"}));
+		candidates.add(new Pair<>("com/liferay/journal/configuration/JournalWebConfiguration", new String[] {"enabled"}));
+
+		ApproximateMatchIndex approximateMatchIndex = new ApproximateMatchIndex(0.6);
+
+		approximateMatchIndex.add(candidates);
+
+		// enable and enabled are both similar to enabled, but a candidate of a single word can only match one of them
+		String property = "journal.enabled.enable";
+
+		List<Pair<String, String>> matches = approximateMatchIndex.getMostLikelyMatches(property, PropertiesLocator.getPortletNames(property));
+
+		Assert.assertTrue(matches.isEmpty());
+	}
+
+	@Test
+	public void testSimilarWords() {
+		List<Pair<String, String[]>> candidates = new ArrayList<>();
+
+		candidates.add(new Pair<>("com/liferay/journal/configuration/JournalServiceConfiguration", new String[] {"checkInterval", "enabled"}));
+
+		ApproximateMatchIndex approximateMatchIndex = new ApproximateMatchIndex(0.6);
+
+		approximateMatchIndex.add(candidates);
+
+		String property = "journal.check.intervals";
+
+		List<Pair<String, String>> matches = approximateMatchIndex.getMostLikelyMatches(property, PropertiesLocator.getPortletNames(property));
+
+		Assert.assertEquals(1, matches.size());
+		Assert.assertEquals("checkInterval", matches.get(0).second);
+	}
+
+	@Test
+	public void testCandidatesAreReadLazily() {
+		List<Pair<String, String[]>> candidates = new ArrayList<>();
+
+		for (int i = 0; i < 100; i++) {
+			candidates.add(new Pair<>("com/liferay/journal/configuration/JournalConfiguration" + i, new String[] {"checkInterval"}));
+		}
+
+		AtomicInteger readCandidates = new AtomicInteger();
+
+		Iterable<Pair<String, String[]>> countedCandidates = () -> candidates.stream().peek(candidate -> readCandidates.incrementAndGet()).iterator();
+
+		ApproximateMatchIndex approximateMatchIndex = new ApproximateMatchIndex(0.6);
+
+		approximateMatchIndex.add(countedCandidates);
+		approximateMatchIndex.add(countedCandidates);
+
+		readCandidates.set(0);
+
+		approximateMatchIndex.candidatesIterator().next();
+
+		Assert.assertEquals(1, readCandidates.get());
+	}
+
+	@Test
+	public void testSimilarWordsInSpilledIndex() throws Exception {
+		try (PropertiesIndex index = new PropertiesIndex(1)) {
+			index.add("com/liferay/journal/configuration/JournalServiceConfiguration", new String[] {"checkInterval", "enabled"});
+			index.add("com/liferay/wiki/configuration/WikiConfiguration", new String[] {"checkInterval"});
+
+			index.finish();
+
+			ApproximateMatchIndex approximateMatchIndex = new ApproximateMatchIndex(0.6);
+
+			approximateMatchIndex.add(index);
+
+			String property = "journal.check.intervals";
+
+			List<Pair<String, String>> matches = approximateMatchIndex.getMostLikelyMatches(property, PropertiesLocator.getPortletNames(property));
+
+			Assert.assertEquals(1, matches.size());
+			Assert.assertEquals("com/liferay/journal/configuration/JournalServiceConfiguration", matches.get(0).first);
+			Assert.assertEquals("checkInterval", matches.get(0).second);
+		}
+	}
+
+}
@@ -0,0 +1,14 @@
+package com.liferay.upgrade.properties.locator;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PropertiesLocatorTest {
+
+	@Test
+	public void testMatchSuffixOfOneWordProperty() {
+		Assert.assertFalse(PropertiesLocator.matchSuffix("journal.enabled.enable", "enabled"));
+		Assert.assertTrue(PropertiesLocator.matchSuffix("journal.check.interval", "checkInterval"));
+	}
+
+}